@@ -0,0 +1,2 @@
+import { ComponentMetadata } from '../model';
+export declare function createGenericMetadata(tagName: string): ComponentMetadata;
@@ -0,0 +1,3 @@
+import { CSSResult } from 'lit';
+export declare function injectGlobalCss(css: CSSResult): void;
+export declare const editorRowStyles: CSSResult;
@@ -0,0 +1,27 @@
+package com.example.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Logs the time from JVM start until the application is ready to serve requests.
+ * Unlike Spring's own "Started Application in ..." message, this includes JVM startup and class loading,
+ * which is what CDS and AOT processing mostly reduce. See the README for how to compare the build variants.
+ */
+@Component
+public class StartupTimeLogger implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimeLogger.class);
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Ready to serve requests {} ms after JVM start (context: {} ms)",
+            uptime, event.getTimeTaken().toMillis());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.application.dialoglog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only JSONL log of the lifecycle of blocking dialogs, for offline analysis with {@link DialogEventLogAnalyzer}.
+ * The events are logged by {@code BlockingDialogs}.
+ * <p>
+ * Logging is enabled by setting the system property {@value #PATH_PROPERTY} to the path of the log file.
+ * Events are written by a background thread, so the threads holding the session lock never do any I/O.
+ */
+public final class DialogEventLog {
+
+	public static final String PATH_PROPERTY = "blockingDialogs.eventLog";
+
+	private static final Path path = pathFromProperty();
+	/** Cleared if the log cannot be written, so events don't pile up in the queue. */
+	private static volatile boolean enabled = path != null;
+	private static final AtomicLong ids = new AtomicLong();
+	private static final AtomicLong sessionIds = new AtomicLong();
+	/** Short numeric ids for sessions, so the log doesn't contain the HTTP session ids. */
+	private static final Map<VaadinSession, Long> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+	/** The steps of a wrapped listener task (SUBMIT to LOCKED) and of a dialog (OPEN to RELOCK). */
+	public enum Type {
+		/** The log file has been opened. The id of this event is the wall-clock time in epoch milliseconds. */
+		LOG_STARTED,
+		/** A wrapped listener was called and submitted its task to the executor. */
+		SUBMIT,
+		/** The executor started running the task. */
+		START,
+		/** The task acquired the session lock. */
+		LOCKED,
+		/** A dialog was opened. */
+		OPEN,
+		/** A thread released the session lock to wait for a dialog, which pushes the changes to the client. */
+		PUSH,
+		/** The dialog was answered by the user. */
+		ANSWER,
+		/** The dialog was cancelled or its result failed, e.g. because it was detached. */
+		CANCEL,
+		/** The waiting thread woke up. */
+		RESUME,
+		/** The waiting thread reacquired the session lock. */
+		RELOCK
+	}
+
+	/** A logged event. Timestamps are from {@link System#nanoTime()}, ids are -1 if unknown. */
+	public record Event(long nanos, Type type, long id, long session, int ui, String thread) {}
+
+	/** The result of a dialog, carrying the id used for its events. */
+	public static final class TrackedFuture<T> extends CompletableFuture<T> {
+
+		private final long id = nextId();
+		private final UI ui;
+
+		private TrackedFuture(UI ui) {
+			this.ui = ui;
+		}
+
+		public long id() {
+			return id;
+		}
+
+		public UI ui() {
+			return ui;
+		}
+	}
+
+	private DialogEventLog() {}
+
+	/** Returns a new future for a dialog result in the given UI, which logs when it is answered or cancelled. */
+	public static <T> TrackedFuture<T> newTrackedFuture(UI ui) {
+		var result = new TrackedFuture<T>(ui);
+		result.whenComplete((value, ex) -> log(ex == null ? Type.ANSWER : Type.CANCEL, result.id, ui));
+		return result;
+	}
+
+	public static long nextId() {
+		return ids.incrementAndGet();
+	}
+
+	/** Returns the id of the given future if it is tracked, or a new id otherwise. */
+	public static long idOf(CompletableFuture<?> future) {
+		return future instanceof TrackedFuture<?> tracked ? tracked.id : nextId();
+	}
+
+	public static void log(Type type, long id, UI ui) {
+		if (!enabled)
+			return;
+		long nanos = System.nanoTime();
+		VaadinSession session = ui == null ? null : ui.getSession();
+		long sessionId = session == null ? -1 : sessions.computeIfAbsent(session, s -> sessionIds.incrementAndGet());
+		int uiId = ui == null ? -1 : ui.getUIId();
+		Writer.queue.add(new Event(nanos, type, id, sessionId, uiId, Thread.currentThread().getName()));
+	}
+
+	private static Path pathFromProperty() {
+		String value = System.getProperty(PATH_PROPERTY);
+		return value == null || value.isBlank() ? null : Path.of(value);
+	}
+
+	/** Writes the queued events. Started on the first logged event. */
+	private static final class Writer implements Runnable {
+
+		private static final Logger log = LoggerFactory.getLogger(DialogEventLog.class);
+		static final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
+
+		static {
+			queue.add(new Event(System.nanoTime(), Type.LOG_STARTED, System.currentTimeMillis(), -1, -1,
+				Thread.currentThread().getName()));
+			var thread = new Thread(new Writer(), "dialog-event-log");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		@Override
+		public void run() {
+			// Created here rather than in the static initializer, which runs in the first logging thread.
+			var mapper = new ObjectMapper();
+			try (BufferedWriter out = Files.newBufferedWriter(path,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+				while (true) {
+					Event event = queue.take();
+					out.write(mapper.writeValueAsString(event));
+					out.newLine();
+					if (queue.isEmpty())
+						out.flush();
+				}
+			}
+			catch (IOException ex) {
+				log.error("Cannot write dialog event log to {}, disabling it", path, ex);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				enabled = false;
+				queue.clear();
+			}
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package com.example.application.dialoglog;
+
+import com.example.application.dialoglog.DialogEventLog.Event;
+import com.example.application.dialoglog.DialogEventLog.Type;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Computes per-stage latencies from logs written by {@link DialogEventLog}.
+ * Pass the log files as arguments, the breakdown is printed to standard out.
+ * <p>
+ * The stages separate the time spent waiting for an executor thread, for the session lock,
+ * and for the push to the client plus the user's response.
+ */
+public class DialogEventLogAnalyzer {
+
+	enum Stage {
+		EXECUTOR_QUEUE(Type.SUBMIT, Type.START, "task waiting for an executor thread"),
+		TASK_LOCK(Type.START, Type.LOCKED, "task acquiring the session lock", true),
+		OPEN_TO_PUSH(Type.OPEN, Type.PUSH, "lock held after opening the dialog"),
+		PUSH_TO_ANSWER(Type.PUSH, Type.ANSWER, "push delivery and user response"),
+		WAKE_UP(Type.ANSWER, Type.RESUME, "waiting thread waking up"),
+		RELOCK(Type.RESUME, Type.RELOCK, "waiting thread reacquiring the session lock", true);
+
+		final Type from;
+		final Type to;
+		final String description;
+		/** Whether this stage is waiting for the session lock, which is also broken down by UI. */
+		final boolean lockWait;
+
+		Stage(Type from, Type to, String description) {
+			this(from, to, description, false);
+		}
+
+		Stage(Type from, Type to, String description, boolean lockWait) {
+			this.from = from;
+			this.to = to;
+			this.description = description;
+			this.lockWait = lockWait;
+		}
+	}
+
+	private final Map<Stage, List<Long>> durations = new EnumMap<>(Stage.class);
+	/** Lock waits per session and UI, to see whether some tabs of a session wait longer than others. */
+	private final Map<String, List<Long>> lockWaitsByUi = new TreeMap<>();
+	private int opened;
+	private int cancelled;
+	private int unanswered;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: DialogEventLogAnalyzer <event log>...");
+			System.exit(1);
+		}
+		var analyzer = new DialogEventLogAnalyzer();
+		var mapper = new ObjectMapper();
+		for (String arg : args) {
+			try (BufferedReader in = Files.newBufferedReader(Path.of(arg))) {
+				List<Event> events = new ArrayList<>();
+				String line;
+				while ((line = in.readLine()) != null) {
+					if (!line.isBlank())
+						events.add(mapper.readValue(line, Event.class));
+				}
+				analyzer.add(events);
+			}
+		}
+		analyzer.print(System.out);
+	}
+
+	/** Adds the events of one log file, which contains a run of the application after each LOG_STARTED event. */
+	void add(List<Event> events) {
+		List<Event> run = new ArrayList<>();
+		for (Event event : events) {
+			// Logs are appended across restarts, and ids are only unique within one run.
+			if (event.type() == Type.LOG_STARTED) {
+				addRun(run);
+				run = new ArrayList<>();
+			}
+			else {
+				run.add(event);
+			}
+		}
+		addRun(run);
+	}
+
+	private void addRun(List<Event> run) {
+		Map<Long, Map<Type, Long>> byId = new HashMap<>();
+		Map<Long, String> uis = new HashMap<>();
+		for (Event event : run) {
+			byId.computeIfAbsent(event.id(), id -> new EnumMap<>(Type.class)).putIfAbsent(event.type(), event.nanos());
+			uis.putIfAbsent(event.id(), "session " + event.session() + " ui " + event.ui());
+		}
+		for (var entry : byId.entrySet()) {
+			Map<Type, Long> times = entry.getValue();
+			if (times.containsKey(Type.OPEN)) {
+				opened++;
+				if (times.containsKey(Type.CANCEL))
+					cancelled++;
+				else if (!times.containsKey(Type.ANSWER))
+					unanswered++;
+			}
+			for (Stage stage : Stage.values()) {
+				Long from = times.get(stage.from);
+				Long to = times.get(stage.to);
+				// Skip stages that didn't happen in this order, e.g. a future that was completed before waiting.
+				if (from == null || to == null || to < from)
+					continue;
+				durations.computeIfAbsent(stage, s -> new ArrayList<>()).add(to - from);
+				if (stage.lockWait)
+					lockWaitsByUi.computeIfAbsent(uis.get(entry.getKey()), ui -> new ArrayList<>()).add(to - from);
+			}
+		}
+	}
+
+	/** Returns the durations of the given stage in nanoseconds, in ascending order. */
+	List<Long> durations(Stage stage) {
+		return sorted(durations.getOrDefault(stage, List.of()));
+	}
+
+	/** Returns the session lock waits in nanoseconds by session and UI, in ascending order. */
+	Map<String, List<Long>> lockWaitsByUi() {
+		var result = new TreeMap<String, List<Long>>();
+		lockWaitsByUi.forEach((ui, values) -> result.put(ui, sorted(values)));
+		return result;
+	}
+
+	int opened() {
+		return opened;
+	}
+
+	int cancelled() {
+		return cancelled;
+	}
+
+	int unanswered() {
+		return unanswered;
+	}
+
+	void print(PrintStream out) {
+		out.printf("Dialogs: %d opened, %d cancelled, %d without answer%n", opened, cancelled, unanswered);
+		out.printf("%-16s %8s %10s %10s %10s %10s  %s%n", "stage", "count", "p50 ms", "p90 ms", "p99 ms", "max ms",
+			"description");
+		for (Stage stage : Stage.values()) {
+			List<Long> values = durations(stage);
+			if (values.isEmpty())
+				continue;
+			out.printf("%-16s %8d %10.3f %10.3f %10.3f %10.3f  %s%n", stage, values.size(),
+				millis(percentile(values, 50)), millis(percentile(values, 90)), millis(percentile(values, 99)),
+				millis(values.get(values.size() - 1)), stage.description);
+		}
+		if (lockWaitsByUi.isEmpty())
+			return;
+		out.printf("%nSession lock waits by UI%n");
+		out.printf("%-24s %8s %10s %10s %10s %10s%n", "ui", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+		lockWaitsByUi().forEach((ui, values) -> out.printf("%-24s %8d %10.3f %10.3f %10.3f %10.3f%n", ui, values.size(),
+			millis(percentile(values, 50)), millis(percentile(values, 90)), millis(percentile(values, 99)),
+			millis(values.get(values.size() - 1))));
+	}
+
+	/** Returns the smallest value that is at least as large as the given percentage of the values (nearest rank). */
+	static long percentile(List<Long> sorted, int percent) {
+		int index = (int)Math.ceil(percent / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(index, 0));
+	}
+
+	private static List<Long> sorted(List<Long> values) {
+		var result = new ArrayList<>(values);
+		result.sort(null);
+		return result;
+	}
+
+	private static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+}
@@ -23,14 +23,15 @@ import java.util.concurrent.locks.Condition;
 public class AwaitLockView extends HorizontalLayout {
 
     // For simplicity only! In production, use an application-wide thread pool!
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Created lazily on the first click, so constructing the view does not start a thread pool.
+    private ExecutorService executor;
 
     public AwaitLockView() {
         var sayHello = new Button("Say hello", e -> {
             UI ui = UI.getCurrent();
             // Must use accessSynchronously here instead of access.
             // Otherwise the task could be executed by the event handler thread.
-            executor.execute(() -> ui.accessSynchronously(() -> {
+            executor().execute(() -> ui.accessSynchronously(() -> {
                 String name = askName(ui);
                 Notification.show("Hi, " + name);
             }));
@@ -42,7 +43,18 @@ public class AwaitLockView extends HorizontalLayout {
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        executor.shutdown();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /** Returns the executor, creating it if necessary. Must be called while holding the session lock. */
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool();
+        }
+        return executor;
     }
 
     private static String askName(UI ui) {
@@ -61,6 +73,11 @@ public class AwaitLockView extends HorizontalLayout {
             condition.signal();
             dialog.close();
         });
+        // Also signal when the dialog is detached, e.g. by closing the tab, otherwise the executor thread never wakes up
+        dialog.addDetachListener(e -> {
+            result.completeExceptionally(new CancellationException());
+            condition.signal();
+        });
         dialog.open();
         ui.push();
         condition.awaitUninterruptibly();
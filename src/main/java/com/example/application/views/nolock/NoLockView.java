@@ -22,14 +22,15 @@ import java.util.concurrent.Executors;
 public class NoLockView extends HorizontalLayout {
 
     // For simplicity only! In production, use an application-wide thread pool!
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Created lazily on the first click, so constructing the view does not start a thread pool.
+    private ExecutorService executor;
 
     public NoLockView() {
         var sayHello = new Button("Say hello", e -> {
             UI ui = UI.getCurrent();
             // Must use accessSynchronously here instead of access.
             // Otherwise the task could be executed by the event handler thread.
-            executor.execute(() -> {
+            executor().execute(() -> {
                 CompletableFuture<String> nameFuture = askNameAsync(ui);
                 String name = nameFuture.join();
                 // We don't hold the lock here, so we need to acquire it explicitely before making changes to the UI.
@@ -43,7 +44,18 @@ public class NoLockView extends HorizontalLayout {
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        executor.shutdown();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /** Returns the executor, creating it if necessary. Must be called while holding the session lock. */
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool();
+        }
+        return executor;
     }
 
     /**
@@ -63,6 +75,8 @@ public class NoLockView extends HorizontalLayout {
             result.completeExceptionally(new CancellationException());
             dialog.close();
         });
+        // Closing the tab detaches the dialog without a close action, which must not leave the thread waiting forever
+        dialog.addDetachListener(e -> result.completeExceptionally(new CancellationException()));
         ui.access(dialog::open);    // Called from background thread without lock, so UI.access is needed
         return result;
     }
@@ -24,14 +24,15 @@ import java.util.concurrent.locks.ReentrantLock;
 public class ReleaseLockView extends HorizontalLayout {
 
     // For simplicity only! In production, use an application-wide thread pool!
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    // Created lazily on the first click, so constructing the view does not start a thread pool.
+    private ExecutorService executor;
 
     public ReleaseLockView() {
         var sayHello = new Button("Say hello", e -> {
             UI ui = UI.getCurrent();
             // Must use accessSynchronously here instead of access.
             // Otherwise the task could be executed by the event handler thread.
-            executor.execute(() -> ui.accessSynchronously(() -> {
+            executor().execute(() -> ui.accessSynchronously(() -> {
                 CompletableFuture<String> nameFuture = askNameAsync();
                 String name = blockingWait(ui, nameFuture);
                 Notification.show("Hi, " + name);
@@ -44,7 +45,18 @@ public class ReleaseLockView extends HorizontalLayout {
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
-        executor.shutdown();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /** Returns the executor, creating it if necessary. Must be called while holding the session lock. */
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool();
+        }
+        return executor;
     }
 
     /**
@@ -64,6 +76,8 @@ public class ReleaseLockView extends HorizontalLayout {
             result.completeExceptionally(new CancellationException());
             dialog.close();
         });
+        // The dialog is also detached when the tab is closed, in which case the waiting thread is cancelled
+        dialog.addDetachListener(e -> result.completeExceptionally(new CancellationException()));
         dialog.open();
         return result;
     }
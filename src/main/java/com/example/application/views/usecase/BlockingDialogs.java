@@ -1,5 +1,7 @@
 package com.example.application.views.usecase;
 
+import com.example.application.dialoglog.DialogEventLog;
+import com.example.application.dialoglog.DialogEventLog.Type;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
@@ -11,35 +13,137 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.data.binder.Binder;
 import com.vaadin.flow.server.VaadinSession;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class BlockingDialogs {
 
-	private static final ExecutorService executor = Executors.newCachedThreadPool();
+	/** Prefix of the names of the executor threads, to tell them apart in thread dumps and when checking for leaks. */
+	static final String THREAD_NAME_PREFIX = "blocking-dialogs-";
+
+	/**
+	 * System property limiting the number of executor threads, which is unlimited by default.
+	 * Each dialog being waited for keeps its thread, and further tasks wait for a free one. So if the limit is
+	 * reached, wrapped listeners, including those of the open dialogs themselves, only run after a dialog is closed.
+	 */
+	static final String MAX_THREADS_PROPERTY = "blockingDialogs.maxThreads";
+
+	/** How long {@link #yieldLock()} waits at most for another thread to take the session lock. */
+	private static final long YIELD_SPIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	/** Holds the executor, so the thread pool is only created on first blocking use, not on class load. */
+	private static final class ExecutorHolder {
+		static final int maxThreads = Integer.getInteger(MAX_THREADS_PROPERTY, Integer.MAX_VALUE);
+		static final ExecutorService executor = newExecutor(maxThreads);
+	}
+
+	/** Creates a pool of platform threads, which are started on demand and end after being idle for a minute. */
+	private static ExecutorService newExecutor(int maxThreads) {
+		ThreadFactory threadFactory = Thread.ofPlatform().name(THREAD_NAME_PREFIX, 0).factory();
+		if (maxThreads == Integer.MAX_VALUE)
+			return Executors.newCachedThreadPool(threadFactory);
+		var executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+			threadFactory);
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
 
 	/** Wraps a ComponentEventListener to be executed in a background thread to enable blocking. */
 	public static <E extends ComponentEvent<?>> ComponentEventListener<E> wrapListener(ComponentEventListener<E> listener) {
 		UI ui = UI.getCurrent();
-		return e -> executor.execute(() -> ui.accessSynchronously(() -> listener.onComponentEvent(e)));
+		return e -> {
+			long task = DialogEventLog.nextId();
+			DialogEventLog.log(Type.SUBMIT, task, ui);
+			var queue = SessionLockQueue.of(ui.getSession());
+			queue.register(ui);
+			executor().execute(() -> {
+				DialogEventLog.log(Type.START, task, ui);
+				long start = System.nanoTime();
+				// Take turns with the other UIs of the session, so one tab cannot starve the others.
+				try (var turn = queue.newTurn(ui.getUIId())) {
+					turn.acquire();
+					ui.accessSynchronously(() -> {
+						turn.recordWait(System.nanoTime() - start);
+						DialogEventLog.log(Type.LOCKED, task, ui);
+						listener.onComponentEvent(e);
+					});
+				}
+			});
+		};
+	}
+
+	/**
+	 * Safe point for long-running wrapped listeners: if other threads are waiting for the session lock,
+	 * releases it to let them run and then reacquires it. This also pushes the pending changes to the client.
+	 * Must be called while holding the session lock, and only where the UI state is consistent.
+	 */
+	public static void yieldLock() {
+		var session = VaadinSession.getCurrent();
+		var lock = (ReentrantLock)session.getLockInstance();
+		var turn = SessionLockQueue.currentTurn();
+		if (!lock.hasQueuedThreads() && !turn.othersWaiting())
+			return;
+		int holdCount = unlockFully(session, turn);
+		// The session lock is not fair, so give a waiting thread the chance to take it before locking it again.
+		long deadline = System.nanoTime() + YIELD_SPIN_NANOS;
+		while (lock.hasQueuedThreads() && !lock.isLocked() && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		relock(session, turn, holdCount);
+	}
+
+	/**
+	 * Returns how long each attached UI of the given session waited for the session lock in wrapped listeners.
+	 * The statistics of a UI are also logged when it is detached.
+	 */
+	public static List<LockWaitStats> lockWaitStats(VaadinSession session) {
+		return SessionLockQueue.of(session).stats();
+	}
+
+	/** How often a UI waited for the session lock, and how long in total and at most. */
+	public record LockWaitStats(int uiId, long count, long totalNanos, long maxNanos) {}
+
+	/** Returns the executor for background work, such as queries that should run without holding the session lock. */
+	static ExecutorService executor() {
+		return ExecutorHolder.executor;
+	}
+
+	/** Returns the maximum number of executor threads, see {@link #MAX_THREADS_PROPERTY}. */
+	static int maxThreads() {
+		return ExecutorHolder.maxThreads;
 	}
 
 	/** Displays a form with all fields in the given Binder and returns a CompletableFuture of the validated bean. */
 	public static <T> CompletableFuture<T> saveCancelAsync(String title, Binder<T> binder, Supplier<T> factory) {
-		var result = new CompletableFuture<T>();
+		return saveCancelAsync(title, binder, factory, Function.identity());
+	}
+
+	/**
+	 * Displays a form with all fields in the given Binder, which writes to a builder, and returns a CompletableFuture
+	 * of the object built from it. Exceptions thrown by {@code build} are shown to the user like validation errors.
+	 */
+	public static <B, T> CompletableFuture<T> saveCancelAsync(String title, Binder<B> binder, Supplier<B> factory,
+		Function<? super B, ? extends T> build) {
+		var result = DialogEventLog.<T>newTrackedFuture(UI.getCurrent());
 		var dialog = new Dialog(title);
 		dialog.add(new VerticalLayout(binder.getFields()
 			.map(Component.class::cast)
 			.toArray(Component[]::new)
 		));
 		dialog.getFooter().add(new Button("Save", wrapListener(e -> {
-			T obj = factory.get();
+			B builder = factory.get();
 			try {
-				binder.writeBean(obj);
-				result.complete(obj);
+				binder.writeBean(builder);
+				result.complete(build.apply(builder));
 				dialog.close();
 			}
 			catch (Exception ex) {
@@ -54,6 +158,7 @@ public class BlockingDialogs {
 		})));
 		dialog.addDetachListener(e -> result.cancel(false));
 		dialog.open();
+		DialogEventLog.log(Type.OPEN, result.id(), result.ui());
 		return result;
 	}
 
@@ -62,14 +167,23 @@ public class BlockingDialogs {
 		return blockingWait(saveCancelAsync(title, binder, factory));
 	}
 
+	/** Displays a form with all fields in the given Binder, which writes to a builder, and blocks for the built object. */
+	public static <B, T> T saveCancelBlocking(String title, Binder<B> binder, Supplier<B> factory,
+		Function<? super B, ? extends T> build) {
+		return blockingWait(saveCancelAsync(title, binder, factory, build));
+	}
+
 	/** Displays a yes-no-message dialog to the user and returns the decision as a CompletableFuture. */
 	public static CompletableFuture<Boolean> yesNoAsync(String title, String message) {
-		var result = new CompletableFuture<Boolean>();
+		var result = DialogEventLog.<Boolean>newTrackedFuture(UI.getCurrent());
 		var dialog = new ConfirmDialog(title, message,
 			"Yes", e -> result.complete(true),
 			"No", e -> result.complete(false)
 		);
+		// Also wake up the waiting thread when the dialog is removed without an answer, e.g. when closing the tab.
+		dialog.addDetachListener(e -> result.cancel(false));
 		dialog.open();
+		DialogEventLog.log(Type.OPEN, result.id(), result.ui());
 		return result;
 	}
 
@@ -80,11 +194,13 @@ public class BlockingDialogs {
 
 	/** Displays an alert dialog to the user and a CompletableFuture which is completed when the dialog is closed. */
 	public static CompletableFuture<Void> alertAsync(String title, String message) {
-		var result = new CompletableFuture<Void>();
+		var result = DialogEventLog.<Void>newTrackedFuture(UI.getCurrent());
 		var dialog = new ConfirmDialog(title, message,
 			"OK", e -> result.complete(null)
 		);
+		dialog.addDetachListener(e -> result.cancel(false));
 		dialog.open();
+		DialogEventLog.log(Type.OPEN, result.id(), result.ui());
 		return result;
 	}
 
@@ -99,19 +215,42 @@ public class BlockingDialogs {
 		// so we can immediately show dialog to the user and be ready to process
 		// the answer.
 		var session = VaadinSession.getCurrent();
-		var lock = (ReentrantLock)session.getLockInstance();
-		int holdCount = lock.getHoldCount();
-		for (int i = 0; i < holdCount; i++) {
-			session.unlock();
-		}
+		var ui = UI.getCurrent();
+		long id = DialogEventLog.idOf(future);
+		var turn = SessionLockQueue.currentTurn();
+		int holdCount = unlockFully(session, turn);
+		DialogEventLog.log(Type.PUSH, id, ui);
 		try {
 			return future.join();
 		}
 		finally {
+			DialogEventLog.log(Type.RESUME, id, ui);
 			// Lock again to restore the previous state.
-			for (int i = 0; i < holdCount; i++) {
-				session.lock();
-			}
+			relock(session, turn, holdCount);
+			DialogEventLog.log(Type.RELOCK, id, ui);
+		}
+	}
+
+	/** Releases the session lock as often as the current thread holds it, and returns that hold count. */
+	private static int unlockFully(VaadinSession session, SessionLockQueue.Turn turn) {
+		var lock = (ReentrantLock)session.getLockInstance();
+		int holdCount = lock.getHoldCount();
+		for (int i = 0; i < holdCount; i++) {
+			session.unlock();
+		}
+		assert !lock.isHeldByCurrentThread() : "Session lock still held while waiting";
+		turn.release();
+		return holdCount;
+	}
+
+	/** Acquires the session lock again after {@link #unlockFully}, waiting for the turn first. */
+	private static void relock(VaadinSession session, SessionLockQueue.Turn turn, int holdCount) {
+		long start = System.nanoTime();
+		turn.acquire();
+		for (int i = 0; i < holdCount; i++) {
+			session.lock();
 		}
+		assert ((ReentrantLock)session.getLockInstance()).getHoldCount() == holdCount : "Session lock hold count not restored";
+		turn.recordWait(System.nanoTime() - start);
 	}
 }
@@ -3,13 +3,17 @@ package com.example.application.views.usecase;
 import java.time.LocalDate;
 import java.util.Objects;
 
+/**
+ * An immutable person. All components are validated on construction, so every instance is valid.
+ * The display name is computed once, since it is read for every rendered grid row.
+ * Use a {@link Builder} to collect the values in a form, e.g. with a {@code Binder<Person.Builder>}.
+ */
 public final class Person {
 
-	private String firstName;
-	private String lastName;
-	private LocalDate birthdate;
-
-	public Person() {}
+	private final String firstName;
+	private final String lastName;
+	private final LocalDate birthdate;
+	private final String name;
 
 	public Person(String firstName, String lastName, LocalDate birthdate) {
 		checkNameComponent("firstName", firstName);
@@ -18,17 +22,32 @@ public final class Person {
 		this.firstName = firstName;
 		this.lastName = lastName;
 		this.birthdate = birthdate;
+		this.name = firstName + " " + lastName;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/** Returns whether the given first or last name would be accepted. */
+	public static boolean isValidNameComponent(String name) {
+		return name != null && !name.isBlank();
+	}
+
+	/** Returns whether the given birthdate would be accepted. */
+	public static boolean isValidBirthdate(LocalDate birthdate) {
+		return birthdate != null && !birthdate.isAfter(LocalDate.now());
 	}
 
 	private static void checkNameComponent(String component, String name) {
 		Objects.requireNonNull(name, component + " must not be null");
-		if (name.isBlank())
+		if (!isValidNameComponent(name))
 			throw new IllegalStateException(component + " must not be empty or blank");
 	}
 
 	private static void checkBirthdate(LocalDate birthdate) {
 		Objects.requireNonNull(birthdate, "birthdate must not be null");
-		if (birthdate.isAfter(LocalDate.now()))
+		if (!isValidBirthdate(birthdate))
 			throw new IllegalStateException("Birthdate must not be in the future");
 	}
 
@@ -36,27 +55,56 @@ public final class Person {
 		return firstName;
 	}
 
-	public void setFirstName(String firstName) {
-		this.firstName = firstName;
-	}
-
 	public String lastName() {
 		return lastName;
 	}
 
-	public void setLastName(String lastName) {
-		this.lastName = lastName;
-	}
-
 	public String name() {
-		return firstName + " " + lastName;
+		return name;
 	}
 
 	public LocalDate birthdate() {
 		return birthdate;
 	}
 
-	public void setBirthdate(LocalDate birthdate) {
-		this.birthdate = birthdate;
+	/** Mutable counterpart of Person for forms. Validation happens in {@link #build()}. */
+	public static final class Builder {
+
+		private String firstName;
+		private String lastName;
+		private LocalDate birthdate;
+
+		private Builder() {}
+
+		public String firstName() {
+			return firstName;
+		}
+
+		public Builder setFirstName(String firstName) {
+			this.firstName = firstName;
+			return this;
+		}
+
+		public String lastName() {
+			return lastName;
+		}
+
+		public Builder setLastName(String lastName) {
+			this.lastName = lastName;
+			return this;
+		}
+
+		public LocalDate birthdate() {
+			return birthdate;
+		}
+
+		public Builder setBirthdate(LocalDate birthdate) {
+			this.birthdate = birthdate;
+			return this;
+		}
+
+		public Person build() {
+			return new Person(firstName, lastName, birthdate);
+		}
 	}
 }
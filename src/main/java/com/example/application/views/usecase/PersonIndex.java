@@ -0,0 +1,189 @@
+package com.example.application.views.usecase;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over persons, so filtering doesn't need to scan all persons.
+ * Names are indexed by all their substrings of up to three characters (n-grams) for substring search:
+ * shorter terms are looked up directly, longer terms by intersecting their trigrams.
+ * Birthdates are indexed in a sorted map for range queries.
+ * <p>
+ * The index is updated incrementally and is thread-safe, so it can be updated while holding the session lock
+ * and queried from a background thread without it.
+ */
+final class PersonIndex {
+
+	private static final int GRAM = 3;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	/** All persons in insertion order, with their position to sort the results of filtered queries the same way. */
+	private final Map<Person, Long> order = new LinkedHashMap<>();
+	private final Map<String, Set<Person>> grams = new HashMap<>();
+	private final NavigableMap<LocalDate, Set<Person>> birthdates = new TreeMap<>();
+	private long nextOrder;
+
+	void add(Person person) {
+		lock.writeLock().lock();
+		try {
+			if (order.putIfAbsent(person, nextOrder) != null)
+				return;
+			nextOrder++;
+			for (String name : normalizedNames(person)) {
+				for (String gram : grams(name))
+					grams.computeIfAbsent(gram, k -> new HashSet<>()).add(person);
+			}
+			birthdates.computeIfAbsent(person.birthdate(), k -> new HashSet<>()).add(person);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	void remove(Person person) {
+		lock.writeLock().lock();
+		try {
+			if (order.remove(person) == null)
+				return;
+			for (String name : normalizedNames(person)) {
+				for (String gram : grams(name))
+					removeFrom(grams, gram, person);
+			}
+			removeFrom(birthdates, person.birthdate(), person);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns all persons whose first or last name matches every whitespace-separated term of the given text
+	 * and whose birthdate lies within the given inclusive range, in insertion order.
+	 * A term matches anywhere in a name, ignoring case. Null bounds are unbounded.
+	 */
+	List<Person> query(String text, LocalDate bornFrom, LocalDate bornTo) {
+		if (bornFrom != null && bornTo != null && bornFrom.isAfter(bornTo))
+			return List.of();
+		lock.readLock().lock();
+		try {
+			Set<Person> candidates = null;
+			if (bornFrom != null || bornTo != null) {
+				var range = bornFrom == null ? birthdates : birthdates.tailMap(bornFrom, true);
+				range = bornTo == null ? range : range.headMap(bornTo, true);
+				candidates = union(range.values());
+			}
+			for (String term : terms(text)) {
+				if (candidates != null && candidates.isEmpty())
+					break;
+				candidates = intersect(candidates, personsMatching(term));
+			}
+			// Without any filter, the persons are already in insertion order, so only filtered results need sorting.
+			if (candidates == null)
+				return new ArrayList<>(order.keySet());
+			var result = new ArrayList<>(candidates);
+			result.sort(Comparator.comparingLong(order::get));
+			return result;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns whether {@link #query} would return the given person for the given filter.
+	 * Checks only this person, so a shown result can be updated when a single person is added.
+	 */
+	static boolean matches(Person person, String text, LocalDate bornFrom, LocalDate bornTo) {
+		if (bornFrom != null && person.birthdate().isBefore(bornFrom))
+			return false;
+		if (bornTo != null && person.birthdate().isAfter(bornTo))
+			return false;
+		List<String> names = normalizedNames(person);
+		return terms(text).stream().allMatch(term -> names.stream().anyMatch(name -> name.contains(term)));
+	}
+
+	private Set<Person> personsMatching(String term) {
+		if (term.length() <= GRAM)
+			return grams.getOrDefault(term, Set.of());
+		Set<Person> candidates = null;
+		for (String trigram : trigrams(term)) {
+			Set<Person> persons = grams.get(trigram);
+			if (persons == null)
+				return Set.of();
+			candidates = intersect(candidates, persons);
+		}
+		// Containing all trigrams of the term doesn't mean containing the term itself, so verify the candidates.
+		candidates.removeIf(person -> normalizedNames(person).stream().noneMatch(name -> name.contains(term)));
+		return candidates;
+	}
+
+	/** Returns a new mutable set with the elements contained in both sets, where null stands for all persons. */
+	private static Set<Person> intersect(Set<Person> a, Set<Person> b) {
+		if (a == null)
+			return new HashSet<>(b);
+		Set<Person> smaller = a.size() <= b.size() ? a : b;
+		Set<Person> larger = smaller == a ? b : a;
+		var result = new HashSet<Person>();
+		for (Person person : smaller) {
+			if (larger.contains(person))
+				result.add(person);
+		}
+		return result;
+	}
+
+	private static Set<Person> union(Collection<Set<Person>> sets) {
+		var result = new HashSet<Person>();
+		sets.forEach(result::addAll);
+		return result;
+	}
+
+	private static <K> void removeFrom(Map<K, Set<Person>> index, K key, Person person) {
+		Set<Person> persons = index.get(key);
+		if (persons != null && persons.remove(person) && persons.isEmpty())
+			index.remove(key);
+	}
+
+	private static List<String> normalizedNames(Person person) {
+		return List.of(normalize(person.firstName()), normalize(person.lastName()));
+	}
+
+	private static List<String> terms(String text) {
+		if (text == null || text.isBlank())
+			return List.of();
+		return List.of(normalize(text.strip()).split("\\s+"));
+	}
+
+	private static String normalize(String s) {
+		return s.toLowerCase(Locale.ROOT);
+	}
+
+	/** Returns all substrings of the given string with one up to three characters. */
+	private static Set<String> grams(String s) {
+		var result = new HashSet<String>();
+		for (int length = 1; length <= GRAM; length++) {
+			for (int i = 0; i + length <= s.length(); i++)
+				result.add(s.substring(i, i + length));
+		}
+		return result;
+	}
+
+	private static Set<String> trigrams(String s) {
+		var result = new HashSet<String>();
+		for (int i = 0; i + GRAM <= s.length(); i++)
+			result.add(s.substring(i, i + GRAM));
+		return result;
+	}
+}
@@ -0,0 +1,214 @@
+package com.example.application.views.usecase;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Orders the background tasks of wrapped listeners that want the lock of a shared VaadinSession,
+ * taking turns between the UIs (i.e. browser tabs) of the session in a round-robin fashion.
+ * Without it, the session lock is not fair, so a tab with many or long tasks can starve the other tabs.
+ * <p>
+ * A task takes its turn before acquiring the session lock and gives it back after releasing the lock,
+ * including while blocking for a dialog. Threads that lock the session directly, such as request threads,
+ * are not affected.
+ * Also records how long each UI waited for the session lock, and logs it when the UI is detached.
+ */
+final class SessionLockQueue {
+
+	private static final Logger log = LoggerFactory.getLogger(SessionLockQueue.class);
+	private static final Map<VaadinSession, SessionLockQueue> queues = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final ThreadLocal<Turn> currentTurn = new ThreadLocal<>();
+	/** Used outside of wrapped tasks, where there is no turn to give back. */
+	private static final Turn NO_TURN = new Turn(null, -1);
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	/** Turns waiting per UI id, in order of arrival. */
+	private final Map<Integer, ArrayDeque<Turn>> waiting = new HashMap<>();
+	/** UI ids with waiting turns, in the order they get their next turn. */
+	private final ArrayDeque<Integer> rotation = new ArrayDeque<>();
+	/** UI ids with a detach listener that forgets their statistics. */
+	private final Set<Integer> registered = new HashSet<>();
+	private final Map<Integer, BlockingDialogs.LockWaitStats> stats = new TreeMap<>();
+	private Turn owner;
+
+	private SessionLockQueue() {}
+
+	static SessionLockQueue of(VaadinSession session) {
+		return queues.computeIfAbsent(session, s -> new SessionLockQueue());
+	}
+
+	/** Returns the turn held by the current thread, or a turn that does nothing if it isn't running a wrapped task. */
+	static Turn currentTurn() {
+		Turn turn = currentTurn.get();
+		return turn == null ? NO_TURN : turn;
+	}
+
+	/** Creates a turn for the given UI, which is the current turn of this thread until {@link Turn#close()}. */
+	Turn newTurn(int uiId) {
+		var turn = new Turn(this, uiId);
+		currentTurn.set(turn);
+		return turn;
+	}
+
+	/**
+	 * Registers the given UI, so its statistics are logged and dropped when it is detached.
+	 * Must be called while holding the session lock.
+	 */
+	void register(UI ui) {
+		int uiId = ui.getUIId();
+		lock.lock();
+		try {
+			if (!registered.add(uiId))
+				return;
+		}
+		finally {
+			lock.unlock();
+		}
+		ui.addDetachListener(e -> forget(uiId));
+	}
+
+	private void forget(int uiId) {
+		BlockingDialogs.LockWaitStats removed;
+		lock.lock();
+		try {
+			registered.remove(uiId);
+			removed = stats.remove(uiId);
+		}
+		finally {
+			lock.unlock();
+		}
+		if (removed != null) {
+			log.info("UI {} waited {} times for the session lock, {} ms in total, {} ms at most",
+				uiId, removed.count(), removed.totalNanos() / 1_000_000, removed.maxNanos() / 1_000_000);
+		}
+	}
+
+	/** Returns how long each UI of the session waited for the session lock so far, ordered by UI id. */
+	List<BlockingDialogs.LockWaitStats> stats() {
+		lock.lock();
+		try {
+			return new ArrayList<>(stats.values());
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Returns whether a task of another UI is waiting for its turn. */
+	private boolean othersWaiting(Turn turn) {
+		lock.lock();
+		try {
+			return rotation.stream().anyMatch(uiId -> uiId != turn.uiId);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void acquire(Turn turn) {
+		lock.lock();
+		try {
+			var queue = waiting.computeIfAbsent(turn.uiId, k -> new ArrayDeque<>());
+			if (queue.isEmpty())
+				rotation.addLast(turn.uiId);
+			queue.addLast(turn);
+			while (owner != null || !Objects.equals(rotation.peekFirst(), turn.uiId) || queue.peekFirst() != turn)
+				changed.awaitUninterruptibly();
+			queue.removeFirst();
+			rotation.removeFirst();
+			// Other tasks of the same UI have to wait until every other UI had its turn.
+			if (queue.isEmpty())
+				waiting.remove(turn.uiId);
+			else
+				rotation.addLast(turn.uiId);
+			owner = turn;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void release(Turn turn) {
+		lock.lock();
+		try {
+			if (owner == turn) {
+				owner = null;
+				changed.signalAll();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void recordWait(Turn turn, long nanos) {
+		lock.lock();
+		try {
+			// Don't keep statistics of UIs that were detached while their task was still running.
+			if (!registered.contains(turn.uiId))
+				return;
+			stats.merge(turn.uiId, new BlockingDialogs.LockWaitStats(turn.uiId, 1, nanos, nanos), (a, b) ->
+				new BlockingDialogs.LockWaitStats(a.uiId(), a.count() + 1, a.totalNanos() + nanos, Math.max(a.maxNanos(), nanos)));
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** The claim of a task on the session lock. Must be acquired before locking the session and released after unlocking it. */
+	static final class Turn implements AutoCloseable {
+
+		private final SessionLockQueue queue;
+		private final int uiId;
+
+		private Turn(SessionLockQueue queue, int uiId) {
+			this.queue = queue;
+			this.uiId = uiId;
+		}
+
+		/** Blocks until it's this UI's turn. */
+		void acquire() {
+			if (queue != null)
+				queue.acquire(this);
+		}
+
+		void release() {
+			if (queue != null)
+				queue.release(this);
+		}
+
+		/** Records that the task waited the given time for its turn and the session lock. */
+		void recordWait(long nanos) {
+			if (queue != null)
+				queue.recordWait(this, nanos);
+		}
+
+		boolean othersWaiting() {
+			return queue != null && queue.othersWaiting(this);
+		}
+
+		/** Releases the turn and clears it as the current turn of this thread. */
+		@Override
+		public void close() {
+			release();
+			currentTurn.remove();
+		}
+	}
+}
@@ -5,6 +5,8 @@ import static java.util.stream.Collectors.toCollection;
 import com.example.application.views.MainLayout;
 import com.github.javafaker.Faker;
 import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.grid.Grid;
@@ -14,11 +16,16 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.router.Route;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 @Route(value = "use-case", layout = MainLayout.class)
@@ -26,6 +33,19 @@ public class UseCase extends Composite<VerticalLayout> {
 
 	private final Faker faker = new Faker();
 	private final Grid<Person> grid = new Grid<>();
+	private final PersonIndex index = new PersonIndex();
+	private final TextField filter = new TextField();
+	private final DatePicker bornFrom = new DatePicker();
+	private final DatePicker bornTo = new DatePicker();
+	/** Incremented on every query, to discard results of outdated queries. */
+	private long queryGeneration;
+	/** Generation of the query whose result is shown, which differs from queryGeneration while a query is running. */
+	private long shownGeneration;
+	/**
+	 * Backing collection of the grid's data provider, in the order of the query result. It is replaced with the result
+	 * of each query and updated in place when a single person is added or removed.
+	 */
+	private final Set<Person> shown = new LinkedHashSet<>();
 	private GridListDataView<Person> dataView;
 	private GridSelectionModel<Person> selectionModel;
 
@@ -34,7 +54,9 @@ public class UseCase extends Composite<VerticalLayout> {
 		ArrayList<Person> items = Stream.generate(this::fakePerson)
 			.limit(20)
 			.collect(toCollection(ArrayList::new));
-		dataView = grid.setItems(items);
+		items.forEach(index::add);
+		shown.addAll(items);
+		dataView = grid.setItems(shown);
 		selectionModel = grid.setSelectionMode(Grid.SelectionMode.SINGLE);
 		grid.addColumn(Person::name).setHeader("Name");
 		grid.addColumn(Person::birthdate).setHeader("Birthdate");
@@ -48,8 +70,19 @@ public class UseCase extends Composite<VerticalLayout> {
 			e -> removeSelected()
 		));
 		var buttons = new HorizontalLayout(generate, add, remove);
+		filter.setPlaceholder("Search names");
+		filter.setClearButtonVisible(true);
+		filter.setValueChangeMode(ValueChangeMode.LAZY);
+		filter.addValueChangeListener(e -> refresh());
+		bornFrom.setPlaceholder("Born from");
+		bornFrom.setClearButtonVisible(true);
+		bornFrom.addValueChangeListener(e -> refresh());
+		bornTo.setPlaceholder("Born to");
+		bornTo.setClearButtonVisible(true);
+		bornTo.addValueChangeListener(e -> refresh());
+		var filters = new HorizontalLayout(filter, bornFrom, bornTo);
 		var layout = new VerticalLayout();
-		layout.add(buttons);
+		layout.add(buttons, filters);
 		layout.addAndExpand(grid);
 		return layout;
 	}
@@ -65,27 +98,44 @@ public class UseCase extends Composite<VerticalLayout> {
 	private void addNew() {
 		// This is a more complex example showing a "larger" blocking dialog, which in turn executes blocking logic
 		// when trying to close it. See BlockingDialogs.saveCancelAsync for the "inner" blocking dialogs.
-		var today = LocalDate.now();
-		var binder = new Binder<Person>();
+		// The binder writes to a Person.Builder, since Person is immutable. The validators are the ones Person applies
+		// itself, so the form accepts exactly the values that Person.Builder.build() accepts.
+		var binder = new Binder<Person.Builder>();
 		binder.forField(new TextField("First name"))
 			.asRequired()
-			.bind(Person::firstName, Person::setFirstName);
+			.withValidator(Person::isValidNameComponent, "First name must not be blank")
+			.bind(Person.Builder::firstName, Person.Builder::setFirstName);
 		binder.forField(new TextField("Last name"))
 			.asRequired()
-			.bind(Person::lastName, Person::setLastName);
+			.withValidator(Person::isValidNameComponent, "Last name must not be blank")
+			.bind(Person.Builder::lastName, Person.Builder::setLastName);
 		binder.forField(new DatePicker("Birthdate"))
 			.asRequired()
-			.withValidator(today::isAfter, "Birthdate must not be in the future")
-			.bind(Person::birthdate, Person::setBirthdate);
-		Person person = BlockingDialogs.saveCancelBlocking("New person", binder, Person::new);
-		dataView.addItem(person);
+			.withValidator(Person::isValidBirthdate, "Birthdate must not be in the future")
+			.bind(Person.Builder::birthdate, Person.Builder::setBirthdate);
+		Person person = BlockingDialogs.saveCancelBlocking("New person", binder, Person::builder, Person.Builder::build);
+		add(person);
 	}
 
 	private void generateFakePerson() {
 		// This is an example where no blocking actually happens. Here we can clearly see that, but in our real
 		// application, there are several code paths where we need to assume that blocking could happen, even though it
 		// doesn't happen in all cases.
-		dataView.addItem(fakePerson());
+		add(fakePerson());
+	}
+
+	/** Adds the person to the index, and to the grid if it matches the filter, without querying everything again. */
+	private void add(Person person) {
+		index.add(person);
+		if (shownGeneration != queryGeneration) {
+			// The running query may not see the new person, so query again.
+			refresh();
+		}
+		else if (PersonIndex.matches(person, filter.getValue(), bornFrom.getValue(), bornTo.getValue())) {
+			// New persons come last in the index, so appending keeps the grid in the order of the query result.
+			shown.add(person);
+			dataView.refreshAll();
+		}
 	}
 
 	private void removeSelected() {
@@ -99,8 +149,53 @@ public class UseCase extends Composite<VerticalLayout> {
 		String title = "Remove " + person.name();
 		String msg = "Do you really want to remove " + person.name() + " from this list?";
 		if (BlockingDialogs.yesNoBlocking(title, msg)) {
-			dataView.removeItem(person);
+			index.remove(person);
 			selectionModel.deselect(person);
+			// A running query may still return the person, so query again in that case.
+			if (shownGeneration != queryGeneration)
+				refresh();
+			else if (shown.remove(person))
+				dataView.refreshAll();
 		}
 	}
+
+	/**
+	 * Queries the index with the current filter in a background thread, so the session lock is not held while
+	 * searching, and shows the result in the grid. Must be called while holding the session lock.
+	 * Adding and removing single persons doesn't need this, see {@link #add} and {@link #remove}.
+	 */
+	private void refresh() {
+		UI ui = UI.getCurrent();
+		long generation = ++queryGeneration;
+		String text = filter.getValue();
+		LocalDate from = bornFrom.getValue();
+		LocalDate to = bornTo.getValue();
+		BlockingDialogs.executor().execute(() -> {
+			List<Person> result = index.query(text, from, to);
+			Set<Person> resultSet = new HashSet<>(result);
+			try {
+				ui.access(() -> show(generation, result, resultSet));
+			}
+			catch (UIDetachedException ex) {
+				// The UI was closed while querying, so there is nothing to show the result in.
+			}
+		});
+	}
+
+	/**
+	 * Shows the given query result in the grid, keeping the data provider, and with it the scroll position,
+	 * and the selection if it is still part of the result.
+	 */
+	private void show(long generation, List<Person> result, Set<Person> resultSet) {
+		// A newer query has been started in the meantime, so this result is outdated.
+		if (generation != queryGeneration)
+			return;
+		shownGeneration = generation;
+		shown.clear();
+		shown.addAll(result);
+		selectionModel.getFirstSelectedItem()
+			.filter(selected -> !resultSet.contains(selected))
+			.ifPresent(selectionModel::deselect);
+		dataView.refreshAll();
+	}
 }
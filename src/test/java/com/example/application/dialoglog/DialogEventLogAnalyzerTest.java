@@ -0,0 +1,106 @@
+package com.example.application.dialoglog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.application.dialoglog.DialogEventLog.Event;
+import com.example.application.dialoglog.DialogEventLog.Type;
+import com.example.application.dialoglog.DialogEventLogAnalyzer.Stage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+class DialogEventLogAnalyzerTest {
+
+	private final DialogEventLogAnalyzer analyzer = new DialogEventLogAnalyzer();
+
+	@Test
+	void pairsInterleavedEventsById() {
+		analyzer.add(List.of(
+			event(0, Type.SUBMIT, 1, 1),
+			event(5, Type.SUBMIT, 2, 1),
+			event(7, Type.START, 2, 1),
+			event(10, Type.START, 1, 1)
+		));
+		assertEquals(List.of(2L, 10L), analyzer.durations(Stage.EXECUTOR_QUEUE));
+	}
+
+	@Test
+	void pairsEventsOnlyWithinOneRun() {
+		analyzer.add(List.of(
+			logStarted(0),
+			event(10, Type.SUBMIT, 1, 1),
+			event(20, Type.START, 1, 1),
+			event(30, Type.SUBMIT, 2, 1),
+			logStarted(1000),
+			// Ids start again after a restart
+			event(1010, Type.SUBMIT, 1, 1),
+			event(1013, Type.START, 1, 1),
+			event(1040, Type.START, 2, 1)
+		));
+		assertEquals(List.of(3L, 10L), analyzer.durations(Stage.EXECUTOR_QUEUE));
+	}
+
+	@Test
+	void skipsStagesWhoseEventsAreOutOfOrder() {
+		// The dialog was answered before the thread started waiting for it
+		analyzer.add(List.of(
+			event(0, Type.OPEN, 1, 1),
+			event(5, Type.ANSWER, 1, 1),
+			event(10, Type.PUSH, 1, 1),
+			event(12, Type.RESUME, 1, 1),
+			event(15, Type.RELOCK, 1, 1)
+		));
+		assertEquals(List.of(10L), analyzer.durations(Stage.OPEN_TO_PUSH));
+		assertEquals(List.of(), analyzer.durations(Stage.PUSH_TO_ANSWER));
+		assertEquals(List.of(7L), analyzer.durations(Stage.WAKE_UP));
+		assertEquals(List.of(3L), analyzer.durations(Stage.RELOCK));
+	}
+
+	@Test
+	void countsDialogsByOutcome() {
+		analyzer.add(List.of(
+			event(0, Type.OPEN, 1, 1),
+			event(1, Type.OPEN, 2, 1),
+			event(2, Type.OPEN, 3, 1),
+			event(3, Type.ANSWER, 1, 1),
+			event(4, Type.CANCEL, 2, 1)
+		));
+		assertEquals(3, analyzer.opened());
+		assertEquals(1, analyzer.cancelled());
+		assertEquals(1, analyzer.unanswered());
+	}
+
+	@Test
+	void breaksDownLockWaitsByUi() {
+		analyzer.add(List.of(
+			event(0, Type.START, 1, 1),
+			event(4, Type.LOCKED, 1, 1),
+			event(10, Type.START, 2, 2),
+			event(19, Type.LOCKED, 2, 2),
+			event(20, Type.RESUME, 3, 2),
+			event(22, Type.RELOCK, 3, 2)
+		));
+		assertEquals(Map.of("session 1 ui 1", List.of(4L), "session 1 ui 2", List.of(2L, 9L)), analyzer.lockWaitsByUi());
+		assertEquals(List.of(4L, 9L), analyzer.durations(Stage.TASK_LOCK));
+	}
+
+	@Test
+	void percentileIsNearestRank() {
+		List<Long> values = LongStream.rangeClosed(1, 10).boxed().toList();
+		assertEquals(5, DialogEventLogAnalyzer.percentile(values, 50));
+		assertEquals(9, DialogEventLogAnalyzer.percentile(values, 90));
+		assertEquals(10, DialogEventLogAnalyzer.percentile(values, 99));
+		assertEquals(1, DialogEventLogAnalyzer.percentile(values, 0));
+		assertEquals(7, DialogEventLogAnalyzer.percentile(List.of(7L), 50));
+	}
+
+	private static Event event(long nanos, Type type, long id, int ui) {
+		return new Event(nanos, type, id, 1, ui, "thread");
+	}
+
+	private static Event logStarted(long nanos) {
+		return new Event(nanos, Type.LOG_STARTED, System.currentTimeMillis(), -1, -1, "thread");
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.application.views;
+
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.textfield.TextField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Tests of a view that asks for a name in a blocking dialog after clicking its button.
+ * Each test fails if a request hangs, and checks that the background threads of the view end,
+ * whether the dialog is answered, cancelled or the tab is closed.
+ */
+public abstract class BlockingViewTest {
+
+	/** Upper bound for a whole scenario, to detect hangs like in DeadlockView. */
+	protected static final Duration SCENARIO_TIMEOUT = Duration.ofSeconds(15);
+
+	private final TestSession testSession = new TestSession();
+	private Set<Thread> threadsBefore;
+	private UI ui;
+	private Component view;
+
+	/** Creates the view under test, which contains the "Say hello" button. */
+	protected abstract Component createView();
+
+	@BeforeEach
+	void openView() {
+		threadsBefore = TestSession.threads(thread -> true).collect(Collectors.toSet());
+		ui = testSession.newUI();
+		view = createView();
+		testSession.request(ui, () -> ui.add(view));
+	}
+
+	@Test
+	void answeringTheDialogShowsGreetingAndLeaksNoThread() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			Dialog dialog = clickAndAwaitDialog();
+			testSession.request(ui, () -> {
+				child(dialog, TextField.class).setValue("Alice");
+				child(dialog, Button.class).click();
+			});
+			testSession.await(ui, Notification.class);
+			testSession.request(ui, () -> ui.remove(view));
+			TestSession.awaitNoThreads(newViewThreads());
+		});
+	}
+
+	@Test
+	void cancellingTheDialogLeaksNoThread() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			Dialog dialog = clickAndAwaitDialog();
+			testSession.request(ui, () -> ComponentUtil.fireEvent(dialog, new Dialog.DialogCloseActionEvent(dialog, true)));
+			testSession.request(ui, () -> ui.remove(view));
+			TestSession.awaitNoThreads(newViewThreads());
+		});
+	}
+
+	@Test
+	void closingTheTabWhileWaitingLeaksNoThread() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			clickAndAwaitDialog();
+			testSession.close(ui);
+			TestSession.awaitNoThreads(newViewThreads());
+		});
+	}
+
+	private Dialog clickAndAwaitDialog() {
+		testSession.request(ui, () -> child(view, Button.class).click());
+		Dialog dialog = testSession.await(ui, Dialog.class);
+		assertTrue(TestSession.threads(newViewThreads()).findAny().isPresent(), "Dialog should be awaited in a background thread");
+		return dialog;
+	}
+
+	/** Matches the threads of the executors created by the view, which have the default names of Executors. */
+	private Predicate<Thread> newViewThreads() {
+		return thread -> !threadsBefore.contains(thread) && thread.getName().matches("pool-\\d+-thread-\\d+");
+	}
+
+	private static <T extends Component> T child(Component parent, Class<T> type) {
+		return parent.getChildren()
+			.filter(type::isInstance)
+			.map(type::cast)
+			.findFirst()
+			.orElseThrow(() -> new AssertionError("No " + type.getSimpleName() + " in " + parent));
+	}
+}
@@ -0,0 +1,159 @@
+package com.example.application.views;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.communication.PushConnection;
+import com.vaadin.flow.shared.communication.PushMode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A VaadinSession with real locking and access queue, but without a servlet or a browser, for testing the threading
+ * and locking behavior of the views. Requests are simulated by running code with the session lock held.
+ */
+public final class TestSession {
+
+	/** How long to wait for background threads to reach an expected state. */
+	public static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final VaadinSession session;
+
+	public TestSession() {
+		var service = mock(VaadinService.class);
+		doCallRealMethod().when(service).accessSession(any(), any());
+		doCallRealMethod().when(service).ensureAccessQueuePurged(any());
+		doCallRealMethod().when(service).runPendingAccessTasks(any());
+		when(service.ensurePushAvailable()).thenReturn(true);
+		session = new VaadinSession(service) {
+			@Override
+			public Lock getLockInstance() {
+				return lock;
+			}
+		};
+		session.lock();
+		try {
+			session.setConfiguration(mock(DeploymentConfiguration.class));
+		}
+		finally {
+			session.unlock();
+		}
+	}
+
+	public VaadinSession session() {
+		return session;
+	}
+
+	public ReentrantLock lock() {
+		return lock;
+	}
+
+	/** Creates a UI in this session, like opening a browser tab. */
+	public UI newUI() {
+		var ui = new UI();
+		session.lock();
+		try {
+			ui.getInternals().setSession(session);
+			ui.doInit(mock(VaadinRequest.class), session.getNextUIid(), "app");
+			session.addUI(ui);
+			// Like @Push on the application, but without a connection to a browser
+			ui.getPushConfiguration().setPushMode(PushMode.AUTOMATIC);
+			ui.getInternals().setPushConnection(mock(PushConnection.class));
+		}
+		finally {
+			session.unlock();
+		}
+		return ui;
+	}
+
+	/** Runs the given command like handling a request of the UI, i.e. with the session lock and the UI as current. */
+	public void request(UI ui, Command command) {
+		ui.accessSynchronously(() -> {
+			command.execute();
+			flush(ui);
+		});
+	}
+
+	/** Closes the UI, like closing the browser tab, which detaches all its components. */
+	public void close(UI ui) {
+		request(ui, () -> session.removeUI(ui));
+	}
+
+	/**
+	 * Waits until the UI contains a component of the given type, e.g. a dialog opened by a background thread,
+	 * and returns it. Like the browser, it has to lock the session to see the changes of background threads.
+	 */
+	public <T extends Component> T await(UI ui, Class<T> type) {
+		return await(ui, type, 1).get(0);
+	}
+
+	/** Waits until the UI contains at least the given number of components of the given type, and returns them. */
+	public <T extends Component> List<T> await(UI ui, Class<T> type, int count) {
+		return await(() -> {
+			var result = new ArrayList<T>();
+			request(ui, () -> descendants(ui).filter(type::isInstance).map(type::cast).forEach(result::add));
+			return result.size() >= count ? Optional.of(result) : Optional.empty();
+		});
+	}
+
+	/** Waits until the given supplier returns a value, and fails if it doesn't in time. */
+	public static <T> T await(Supplier<Optional<T>> condition) {
+		long deadline = System.nanoTime() + TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			Optional<T> result = condition.get();
+			if (result.isPresent())
+				return result.get();
+			sleep();
+		}
+		return fail("Condition not met within " + TIMEOUT);
+	}
+
+	/** Waits until no live thread matches the given predicate, and fails if some remain. */
+	public static void awaitNoThreads(Predicate<Thread> predicate) {
+		await(() -> threads(predicate).findAny().isEmpty() ? Optional.of(true) : Optional.empty());
+	}
+
+	public static Stream<Thread> threads(Predicate<Thread> predicate) {
+		return Thread.getAllStackTraces().keySet().stream()
+			.filter(Thread::isAlive)
+			.filter(predicate);
+	}
+
+	private static Stream<Component> descendants(Component component) {
+		return Stream.concat(Stream.of(component), component.getChildren().flatMap(TestSession::descendants));
+	}
+
+	/** Runs what Vaadin runs before writing a response, which e.g. attaches opened dialogs to the UI. */
+	private static void flush(UI ui) {
+		ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+	}
+
+	private static void sleep() {
+		try {
+			Thread.sleep(10);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new AssertionError(ex);
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.application.views.awaitlock;
+
+import com.example.application.views.BlockingViewTest;
+import com.vaadin.flow.component.Component;
+
+class AwaitLockViewTest extends BlockingViewTest {
+
+	@Override
+	protected Component createView() {
+		return new AwaitLockView();
+	}
+}
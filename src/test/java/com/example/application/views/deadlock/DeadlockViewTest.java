@@ -0,0 +1,30 @@
+package com.example.application.views.deadlock;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.example.application.views.TestSession;
+import com.vaadin.flow.component.button.Button;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import java.time.Duration;
+
+class DeadlockViewTest {
+
+	/**
+	 * Makes sure that the timeouts of the other view tests detect a hang: blocking in the listener holds the
+	 * session lock, so the dialog can never be answered and the request never ends.
+	 */
+	@Test
+	void clickingHangsTheRequest() {
+		var testSession = new TestSession();
+		var ui = testSession.newUI();
+		var view = new DeadlockView();
+		testSession.request(ui, () -> ui.add(view));
+		var button = (Button)view.getChildren().findFirst().orElseThrow();
+		assertThrows(AssertionFailedError.class, () ->
+			assertTimeoutPreemptively(Duration.ofSeconds(1), () -> testSession.request(ui, button::click))
+		);
+	}
+}
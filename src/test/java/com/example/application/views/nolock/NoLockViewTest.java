@@ -0,0 +1,12 @@
+package com.example.application.views.nolock;
+
+import com.example.application.views.BlockingViewTest;
+import com.vaadin.flow.component.Component;
+
+class NoLockViewTest extends BlockingViewTest {
+
+	@Override
+	protected Component createView() {
+		return new NoLockView();
+	}
+}
@@ -0,0 +1,12 @@
+package com.example.application.views.releaselock;
+
+import com.example.application.views.BlockingViewTest;
+import com.vaadin.flow.component.Component;
+
+class ReleaseLockViewTest extends BlockingViewTest {
+
+	@Override
+	protected Component createView() {
+		return new ReleaseLockView();
+	}
+}
@@ -0,0 +1,183 @@
+package com.example.application.views.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.application.views.TestSession;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
+import com.vaadin.flow.server.Command;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Tests that blocking for dialogs releases the session lock and restores it as it was, and that the executor
+ * threads end after the dialogs are answered or the tab is closed.
+ */
+class BlockingDialogsTest {
+
+	/** Upper bound for a whole scenario, to detect hangs. */
+	private static final Duration SCENARIO_TIMEOUT = Duration.ofSeconds(15);
+	/** The limit of executor threads, set for the tests in the surefire configuration. */
+	private static final int MAX_THREADS = BlockingDialogs.maxThreads();
+	/** How long more dialogs than the limit are given to open, which they must not. */
+	private static final Duration SETTLE = Duration.ofMillis(200);
+	private static final Predicate<Thread> EXECUTOR_THREADS =
+		thread -> thread.getName().startsWith(BlockingDialogs.THREAD_NAME_PREFIX);
+
+	private final TestSession testSession = new TestSession();
+	private final UI ui = testSession.newUI();
+
+	@BeforeAll
+	static void shortenKeepAlive() {
+		assertNotEquals(Integer.MAX_VALUE, MAX_THREADS,
+			"Run with the system property " + BlockingDialogs.MAX_THREADS_PROPERTY + " as configured for surefire");
+		// Idle threads of the cached pool would otherwise stay alive for a minute, hiding whether they were released.
+		((ThreadPoolExecutor)BlockingDialogs.executor()).setKeepAliveTime(100, TimeUnit.MILLISECONDS);
+	}
+
+	@BeforeEach
+	void awaitIdleExecutor() {
+		TestSession.awaitNoThreads(EXECUTOR_THREADS);
+	}
+
+	@Test
+	void blockingWaitReleasesLockAndRestoresHoldCount() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> requestHoldingLockTwice(() -> {
+			var future = new CompletableFuture<String>();
+			// Another request can only answer if the lock is released while waiting.
+			var answering = new Thread(() -> testSession.request(ui, () -> future.complete("answer")));
+			answering.start();
+			assertEquals("answer", BlockingDialogs.blockingWait(future));
+			assertEquals(2, testSession.lock().getHoldCount());
+			answering.join();
+		}));
+	}
+
+	@Test
+	void blockingWaitRestoresHoldCountWhenCancelled() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> requestHoldingLockTwice(() -> {
+			var future = new CompletableFuture<String>();
+			var cancelling = new Thread(() -> testSession.request(ui, () -> future.cancel(false)));
+			cancelling.start();
+			assertThrows(CancellationException.class, () -> BlockingDialogs.blockingWait(future));
+			assertEquals(2, testSession.lock().getHoldCount());
+			cancelling.join();
+		}));
+	}
+
+	@Test
+	void yieldLockLetsWaitingRequestRunAndRestoresHoldCount() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> requestHoldingLockTwice(() -> {
+			var ran = new AtomicBoolean();
+			var waiting = new Thread(() -> testSession.request(ui, () -> ran.set(true)));
+			waiting.start();
+			TestSession.await(() -> Optional.of(true).filter(x -> testSession.lock().hasQueuedThreads()));
+			TestSession.await(() -> {
+				BlockingDialogs.yieldLock();
+				assertEquals(2, testSession.lock().getHoldCount());
+				return Optional.of(true).filter(x -> ran.get());
+			});
+			waiting.join();
+		}));
+	}
+
+	@Test
+	void concurrentDialogsUseAtMostMaxThreadsAndReleaseThemWhenAnswered() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			int dialogs = MAX_THREADS + 4;
+			var answers = new ConcurrentLinkedQueue<Boolean>();
+			clickButtons(dialogs, () -> answers.add(BlockingDialogs.yesNoBlocking("Question", "Yes or no?")));
+			testSession.await(ui, ConfirmDialog.class, MAX_THREADS);
+			Thread.sleep(SETTLE.toMillis());
+			assertTrue(TestSession.threads(EXECUTOR_THREADS).count() <= MAX_THREADS, "More threads than the limit");
+			var first = testSession.await(ui, ConfirmDialog.class, MAX_THREADS);
+			assertEquals(MAX_THREADS, first.size(), "Only as many dialogs as threads can be waited for");
+
+			// Answering frees the threads for the remaining tasks.
+			answer(first);
+			var all = testSession.await(ui, ConfirmDialog.class, dialogs);
+			answer(all.subList(MAX_THREADS, dialogs));
+			TestSession.await(() -> Optional.of(true).filter(x -> answers.size() == dialogs));
+			assertTrue(answers.stream().allMatch(answer -> answer));
+			TestSession.awaitNoThreads(EXECUTOR_THREADS);
+		});
+	}
+
+	@Test
+	void closingTheTabCancelsWaitingDialogsAndReleasesThreads() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			var cancelled = new ConcurrentLinkedQueue<CancellationException>();
+			clickButtons(MAX_THREADS, () -> {
+				try {
+					BlockingDialogs.yesNoBlocking("Question", "Yes or no?");
+				}
+				catch (CancellationException ex) {
+					cancelled.add(ex);
+				}
+			});
+			testSession.await(ui, ConfirmDialog.class, MAX_THREADS);
+			testSession.close(ui);
+			TestSession.await(() -> Optional.of(true).filter(x -> cancelled.size() == MAX_THREADS));
+			TestSession.awaitNoThreads(EXECUTOR_THREADS);
+			assertFalse(testSession.lock().isLocked());
+		});
+	}
+
+	/** Clicks the given number of buttons with the given wrapped listener. */
+	private void clickButtons(int count, Command listener) {
+		testSession.request(ui, () -> {
+			for (int i = 0; i < count; i++) {
+				var button = new Button("Ask", BlockingDialogs.wrapListener(e -> listener.execute()));
+				ui.add(button);
+				button.click();
+			}
+		});
+	}
+
+	/** Confirms the given dialogs, like clicking "Yes". They stay attached, since only the client closes them. */
+	private void answer(List<ConfirmDialog> dialogs) {
+		testSession.request(ui, () -> dialogs.forEach(
+			dialog -> ComponentUtil.fireEvent(dialog, new ConfirmDialog.ConfirmEvent(dialog, false))
+		));
+	}
+
+	/** Runs the given code in a request which locks the session once more, as nested access does. */
+	private void requestHoldingLockTwice(ThrowingCommand command) {
+		testSession.request(ui, () -> {
+			testSession.session().lock();
+			try {
+				command.execute();
+			}
+			catch (Exception ex) {
+				throw new AssertionError(ex);
+			}
+			finally {
+				testSession.session().unlock();
+			}
+		});
+	}
+
+	@FunctionalInterface
+	private interface ThrowingCommand {
+		void execute() throws Exception;
+	}
+}
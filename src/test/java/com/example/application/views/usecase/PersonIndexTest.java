@@ -0,0 +1,88 @@
+package com.example.application.views.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+class PersonIndexTest {
+
+	private final PersonIndex index = new PersonIndex();
+	private final Person joanna = new Person("Joanna", "Smith", LocalDate.of(1990, 1, 1));
+	private final Person anna = new Person("Anna", "Jones", LocalDate.of(2000, 6, 15));
+	private final Person bob = new Person("Bob", "Brown", LocalDate.of(1980, 12, 31));
+
+	@BeforeEach
+	void addPersons() {
+		index.add(joanna);
+		index.add(anna);
+		index.add(bob);
+	}
+
+	@Test
+	void emptyQueryReturnsAllInInsertionOrder() {
+		assertEquals(List.of(joanna, anna, bob), index.query("", null, null));
+	}
+
+	@Test
+	void termsMatchAnywhereInNamesRegardlessOfLength() {
+		assertEquals(List.of(joanna, anna, bob), index.query("n", null, null));
+		assertEquals(List.of(joanna, anna), index.query("an", null, null));
+		assertEquals(List.of(joanna, anna), index.query("ann", null, null));
+		assertEquals(List.of(joanna), index.query("oanna", null, null));
+	}
+
+	@Test
+	void matchingIgnoresCase() {
+		assertEquals(List.of(anna), index.query("JON", null, null));
+	}
+
+	@Test
+	void allTermsMustMatch() {
+		assertEquals(List.of(joanna), index.query("anna smi", null, null));
+		assertEquals(List.of(), index.query("anna brown", null, null));
+	}
+
+	@Test
+	void longTermsAreVerifiedAfterTrigramLookup() {
+		var abab = new Person("Abab", "Smith", LocalDate.of(1970, 1, 1));
+		index.add(abab);
+		// All trigrams of "ababa" occur in "abab", but "ababa" itself doesn't
+		assertEquals(List.of(abab), index.query("abab", null, null));
+		assertEquals(List.of(), index.query("ababa", null, null));
+	}
+
+	@Test
+	void birthdateRangeIsInclusive() {
+		assertEquals(List.of(joanna, anna), index.query("", LocalDate.of(1990, 1, 1), LocalDate.of(2000, 6, 15)));
+		assertEquals(List.of(bob), index.query("", null, LocalDate.of(1985, 1, 1)));
+		assertEquals(List.of(), index.query("", LocalDate.of(2001, 1, 1), LocalDate.of(2000, 1, 1)));
+	}
+
+	@Test
+	void removedPersonsAreNotFound() {
+		index.remove(anna);
+		assertEquals(List.of(joanna), index.query("an", null, null));
+		assertEquals(List.of(joanna, bob), index.query("", null, null));
+	}
+
+	@Test
+	void matchesAgreesWithQuery() {
+		var bounds = Arrays.asList(null, LocalDate.of(1990, 1, 1), LocalDate.of(2000, 6, 15));
+		for (String text : List.of("", "n", "an", "JON", "oanna", "anna smi", "anna brown")) {
+			for (LocalDate from : bounds) {
+				for (LocalDate to : bounds) {
+					var result = index.query(text, from, to);
+					for (Person person : List.of(joanna, anna, bob)) {
+						assertEquals(result.contains(person), PersonIndex.matches(person, text, from, to),
+							person.name() + " for \"" + text + "\" from " + from + " to " + to);
+					}
+				}
+			}
+		}
+	}
+}
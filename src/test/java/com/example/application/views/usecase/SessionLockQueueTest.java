@@ -0,0 +1,188 @@
+package com.example.application.views.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.application.views.TestSession;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Tests the order in which wrapped listeners of two UIs of the same session get the session lock,
+ * and the lock wait statistics recorded for them.
+ */
+class SessionLockQueueTest {
+
+	/** Upper bound for a whole scenario, to detect hangs. */
+	private static final Duration SCENARIO_TIMEOUT = Duration.ofSeconds(15);
+	/** How long the session lock is held while the tasks queue up, which each of them waits at least. */
+	private static final Duration HOLD = Duration.ofMillis(50);
+	private static final Predicate<Thread> EXECUTOR_THREADS =
+		thread -> thread.getName().startsWith(BlockingDialogs.THREAD_NAME_PREFIX);
+
+	private final TestSession testSession = new TestSession();
+	private final UI a = testSession.newUI();
+	private final UI b = testSession.newUI();
+	/** The UIs in the order their tasks got the session lock. */
+	private final List<UI> order = Collections.synchronizedList(new ArrayList<>());
+
+	@BeforeAll
+	static void shortenKeepAlive() {
+		// Idle threads of the cached pool would otherwise stay alive for a minute, and count as waiting tasks.
+		((ThreadPoolExecutor)BlockingDialogs.executor()).setKeepAliveTime(100, TimeUnit.MILLISECONDS);
+	}
+
+	@BeforeEach
+	void awaitIdleExecutor() {
+		TestSession.awaitNoThreads(EXECUTOR_THREADS);
+	}
+
+	@Test
+	void uisTakeTurnsRoundRobin() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			var tasksOfA = recordingButtons(a, 3);
+			var tasksOfB = recordingButtons(b, 3);
+			whileHoldingLock(() -> {
+				tasksOfA.forEach(Button::click);
+				awaitWaitingTasks(3);
+				tasksOfB.forEach(Button::click);
+				awaitWaitingTasks(6);
+			});
+			awaitTasksRun(6);
+			// The first task of A took the turn right away, then the remaining tasks alternate as long as both UIs have some.
+			assertEquals(List.of(a, a, b, a, b, b), order, "Order of UIs: " + uiIds());
+		});
+	}
+
+	@Test
+	void uiWithManyTasksCannotStarveAnother() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			var tasksOfA = recordingButtons(a, 5);
+			var taskOfB = recordingButtons(b, 1);
+			whileHoldingLock(() -> {
+				tasksOfA.forEach(Button::click);
+				awaitWaitingTasks(5);
+				taskOfB.forEach(Button::click);
+				awaitWaitingTasks(6);
+			});
+			awaitTasksRun(6);
+			// The first task of A already has the turn and A is queued for the next one when B arrives, but then B
+			// is next, instead of after all tasks of A.
+			assertEquals(List.of(a, a, b, a, a, a), order, "Order of UIs: " + uiIds());
+		});
+	}
+
+	@Test
+	void lockWaitStatsAreRecordedPerUiAndDroppedWhenClosed() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			var tasksOfA = recordingButtons(a, 3);
+			var taskOfB = recordingButtons(b, 1);
+			whileHoldingLock(() -> {
+				tasksOfA.forEach(Button::click);
+				taskOfB.forEach(Button::click);
+				awaitWaitingTasks(4);
+				Thread.sleep(HOLD.toMillis());
+			});
+			awaitTasksRun(4);
+
+			var stats = BlockingDialogs.lockWaitStats(testSession.session());
+			assertEquals(List.of(a.getUIId(), b.getUIId()), stats.stream().map(BlockingDialogs.LockWaitStats::uiId).toList());
+			assertWaited(stats.get(0), 3);
+			assertWaited(stats.get(1), 1);
+
+			testSession.close(a);
+			stats = BlockingDialogs.lockWaitStats(testSession.session());
+			assertEquals(List.of(b.getUIId()), stats.stream().map(BlockingDialogs.LockWaitStats::uiId).toList());
+		});
+	}
+
+	@Test
+	void yieldLockLetsTaskOfOtherUiRunAndRestoresHoldCount() {
+		assertTimeoutPreemptively(SCENARIO_TIMEOUT, () -> {
+			var taskOfB = recordingButtons(b, 1).get(0);
+			var yielding = button(a, () -> {
+				order.add(a);
+				taskOfB.click();
+				// B's task waits for its turn, not for the session lock, so only the queue knows about it.
+				TestSession.await(() -> Optional.of(true).filter(x -> SessionLockQueue.currentTurn().othersWaiting()));
+				assertFalse(testSession.lock().hasQueuedThreads());
+				BlockingDialogs.yieldLock();
+				assertEquals(1, testSession.lock().getHoldCount());
+				order.add(a);
+			});
+			testSession.request(a, yielding::click);
+			awaitTasksRun(3);
+			assertEquals(List.of(a, b, a), order, "Order of UIs: " + uiIds());
+		});
+	}
+
+	/** Creates buttons in the given UI whose wrapped listeners record the UI when they run. */
+	private List<Button> recordingButtons(UI ui, int count) {
+		var result = new ArrayList<Button>();
+		for (int i = 0; i < count; i++)
+			result.add(button(ui, () -> order.add(ui)));
+		return result;
+	}
+
+	private Button button(UI ui, Runnable listener) {
+		var result = new Object() { Button button; };
+		testSession.request(ui, () -> {
+			result.button = new Button("Task", BlockingDialogs.wrapListener(e -> listener.run()));
+			ui.add(result.button);
+		});
+		return result.button;
+	}
+
+	/** Runs the given code while holding the session lock, so the tasks started meanwhile have to queue. */
+	private void whileHoldingLock(ThrowingCommand command) throws Exception {
+		testSession.session().lock();
+		try {
+			command.execute();
+		}
+		finally {
+			testSession.session().unlock();
+		}
+	}
+
+	/** Waits until the given number of executor threads are blocked, waiting for their turn or the session lock. */
+	private static void awaitWaitingTasks(int count) {
+		TestSession.await(() -> Optional.of(true).filter(x ->
+			TestSession.threads(EXECUTOR_THREADS).filter(thread -> thread.getState() == Thread.State.WAITING).count() == count));
+	}
+
+	private void awaitTasksRun(int count) {
+		TestSession.await(() -> Optional.of(true).filter(x -> order.size() == count));
+	}
+
+	private static void assertWaited(BlockingDialogs.LockWaitStats stats, int count) {
+		assertEquals(count, stats.count());
+		assertTrue(stats.maxNanos() >= HOLD.toNanos(), "Max wait should include the time the lock was held: " + stats);
+		assertTrue(stats.totalNanos() >= count * HOLD.toNanos(), "Each task waited while the lock was held: " + stats);
+		assertTrue(stats.maxNanos() <= stats.totalNanos(), stats.toString());
+	}
+
+	private List<Integer> uiIds() {
+		synchronized (order) {
+			return order.stream().map(UI::getUIId).toList();
+		}
+	}
+
+	@FunctionalInterface
+	private interface ThrowingCommand {
+		void execute() throws Exception;
+	}
+}
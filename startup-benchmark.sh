@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+#
+# Measures the startup time of the production build in several variants:
+# the Spring Boot fat jar, the thin jar from the cds profile, and both with Spring AOT and/or class data sharing.
+# Each variant is started the given number of times (default 5) and stopped as soon as StartupTimeLogger reports
+# that it is ready. Prints min, median and mean of the reported time from JVM start until ready.
+#
+# Usage: ./startup-benchmark.sh [runs]
+#
+set -euo pipefail
+cd "$(dirname "$0")"
+
+RUNS=${1:-5}
+# The same JVM as the Maven wrapper, which creates the CDS archive, since an archive only works with the JVM that created it
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+JAR=target/blocking-dialogs-1.0-SNAPSHOT.jar
+CDS_DIR=target/cds
+CDS_JAR=blocking-dialogs-1.0-SNAPSHOT-cds.jar
+
+BUILD_LOG=$(mktemp)
+if ! ./mvnw -B -Pproduction,aot,cds clean package -DskipTests > "$BUILD_LOG" 2>&1; then
+	cat "$BUILD_LOG" >&2
+	exit 1
+fi
+rm "$BUILD_LOG"
+
+# Usage: measure <name> <working directory> <java arguments>...
+measure() {
+	local name=$1 dir=$2
+	shift 2
+	for _ in $(seq "$RUNS"); do
+		local log
+		log=$(mktemp)
+		(cd "$dir" && exec "$JAVA" "$@" --server.port=0 --vaadin.launch-browser=false) > "$log" 2>&1 &
+		local pid=$!
+		until grep -q "Ready to serve requests" "$log"; do
+			if ! kill -0 "$pid" 2> /dev/null; then
+				cat "$log" >&2
+				exit 1
+			fi
+			sleep 0.1
+		done
+		kill "$pid"
+		wait "$pid" 2> /dev/null || true
+		sed -n 's/.*Ready to serve requests \([0-9]*\) ms.*/\1/p' "$log"
+		rm "$log"
+	done | sort -n | awk -v name="$name" '
+		{ v[NR] = $1; sum += $1 }
+		END { printf "%-12s runs %2d   min %5d ms   median %5d ms   mean %5d ms\n", name, NR, v[1], v[int((NR + 1) / 2)], sum / NR }'
+}
+
+measure fat-jar . -jar "$JAR"
+measure fat-jar+aot . -Dspring.aot.enabled=true -jar "$JAR"
+measure thin-jar "$CDS_DIR" -jar "$CDS_JAR"
+# -Xshare:on fails to start if the archive cannot be used, instead of silently running without it
+measure cds "$CDS_DIR" -Xshare:on -XX:SharedArchiveFile=application.jsa -jar "$CDS_JAR"
+measure cds+aot "$CDS_DIR" -Xshare:on -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$CDS_JAR"